@@ -0,0 +1,28 @@
+import java.util.List;
+
+public class BestFitPlacement implements PlacementPolicy {
+    private final PlacementPolicy fallback = new LeastLoadedPlacement();
+
+    @Override
+    public int chooseNode(double now, Job j, List<ClusterNode> nodes) {
+        // Node whose free memory is left smallest after taking the job
+        int best = -1;
+        int bestLeft = Integer.MAX_VALUE;
+        for (ClusterNode n : nodes) {
+            if (!n.kernel.canAllocate(j.reqMemory, j.reqDevices)) continue;
+            int left = n.kernel.getAvailMemory() - j.reqMemory;
+            if (left < bestLeft) {
+                bestLeft = left;
+                best = n.index;
+            }
+        }
+        // Nothing fits right now, the job will wait in a hold queue somewhere
+        if (best < 0) return fallback.chooseNode(now, j, nodes);
+        return best;
+    }
+
+    @Override
+    public boolean readsNodeState() {
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+public class ClusterNode {
+    public final int index;
+    public final OtherKerServices kernel;
+    public final PrManager prManager;
+
+    // Set by the first C line that covers this node
+    public boolean configured = false;
+
+    public ClusterNode(int index) {
+        this.index = index;
+        this.kernel = new OtherKerServices();
+        this.prManager = new PrManager(kernel);
+    }
+
+    // Run this node's internal events up to 'until'.
+    // Events strictly before it are all processed; an event landing on 'until'
+    // itself is dispatched once, same as the single machine loop does on a tie
+    // before it handles the external line.
+    public void advanceTo(double until) {
+        while (true) {
+            double e = prManager.getNextDecisionTime(until);
+            if (Double.isInfinite(e)) return;
+
+            if (Math.abs(e - until) < 1e-9) {
+                prManager.cpuTimeAdvanceTo(e);
+                prManager.dispatch(e);
+                return;
+            }
+            if (e > until) return;
+
+            prManager.cpuTimeAdvanceTo(e);
+            prManager.dispatch(e);
+        }
+    }
+}
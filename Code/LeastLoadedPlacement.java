@@ -0,0 +1,23 @@
+import java.util.List;
+
+public class LeastLoadedPlacement implements PlacementPolicy {
+    @Override
+    public int chooseNode(double now, Job j, List<ClusterNode> nodes) {
+        // Fewest outstanding cycles wins, lowest index on ties
+        int best = 0;
+        double bestWork = Double.POSITIVE_INFINITY;
+        for (ClusterNode n : nodes) {
+            double w = n.prManager.outstandingWork(now);
+            if (w < bestWork - 1e-9) {
+                bestWork = w;
+                best = n.index;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public boolean readsNodeState() {
+        return true;
+    }
+}
@@ -1,44 +1,50 @@
 public class OtherKerServices {
     private int totalMemory = 0;
-    private int availMemory = 0;
+    private int usedMemory = 0;
 
     private int totalDevices = 0;
-    private int availDevices = 0;
+    private int usedDevices = 0;
 
     public void configure(int totalMem, int totalDev) {
         this.totalMemory = totalMem;
-        this.availMemory = totalMem;
+        this.usedMemory = 0;
+        this.totalDevices = totalDev;
+        this.usedDevices = 0;
+    }
+
+    // Change the totals while jobs still hold resources: what is in use stays
+    // in use. Shrinking below current use leaves nothing available until
+    // enough of those jobs finish.
+    public void resize(int totalMem, int totalDev) {
+        this.totalMemory = totalMem;
         this.totalDevices = totalDev;
-        this.availDevices = totalDev;
     }
 
     public int getTotalMemory() { return totalMemory; }
-    public int getAvailMemory() { return availMemory; }
+    public int getAvailMemory() { return Math.max(0, totalMemory - usedMemory); }
 
     public int getTotalDevices() { return totalDevices; }
-    public int getAvailDevices() { return availDevices; }
+    public int getAvailDevices() { return Math.max(0, totalDevices - usedDevices); }
 
     public boolean canAllocate(int mem, int dev) {
-        return mem <= availMemory && dev <= availDevices;
+        return mem <= getAvailMemory() && dev <= getAvailDevices();
     }
 
     public void allocateMemory(int units) {
-        availMemory -= units;
-        if (availMemory < 0) availMemory = 0;
+        usedMemory += units;
     }
 
     public void deallocateMemory(int units) {
-        availMemory += units;
-        if (availMemory > totalMemory) availMemory = totalMemory;
+        usedMemory -= units;
+        if (usedMemory < 0) usedMemory = 0;
     }
 
     public void reserveDevice(int count) {
-        availDevices -= count;
-        if (availDevices < 0) availDevices = 0;
+        usedDevices += count;
     }
 
     public void releaseDevice(int count) {
-        availDevices += count;
-        if (availDevices > totalDevices) availDevices = totalDevices;
+        usedDevices -= count;
+        if (usedDevices < 0) usedDevices = 0;
     }
 }
@@ -0,0 +1,10 @@
+import java.util.List;
+
+public interface PlacementPolicy {
+    // Picks which node an arriving job goes to (index into nodes)
+    int chooseNode(double now, Job j, List<ClusterNode> nodes);
+
+    // False if the choice never looks at node state, so only the chosen
+    // node has to be stepped to the arrival time
+    boolean readsNodeState();
+}
@@ -27,6 +27,9 @@ public class PrManager {
     private double SR = 0.0;
     private int readyCount = 0;
 
+    // Service time of jobs parked in HQ1/HQ2 (for cluster placement)
+    private double heldWork = 0.0;
+
     // Finished records
     public static class FinishedRecord {
         int jobId;
@@ -52,6 +55,12 @@ public class PrManager {
         this.cpuScheduler = this.dynRR; // default dynamic
     }
 
+    // Called after the kernel totals change: held jobs may fit now
+    public void resourcesChanged(double now) {
+        admitFromHolds(now);
+        tryStartCpuIfIdle(now);
+    }
+
     @SuppressWarnings("unused")
     public void setCpuToDynamicRR() { this.cpuScheduler = this.dynRR; }
     @SuppressWarnings("unused")
@@ -89,6 +98,7 @@ public class PrManager {
             // Go to Hold queues based on priority
             if (j.priority == 1) holdQ1.add(j);
             else holdQ2.addLast(j);
+            heldWork += j.serviceTime;
         }
     }
 
@@ -129,6 +139,18 @@ public class PrManager {
         return nextInternalEvent;
     }
 
+    // Cycles still owed to every job on this machine at time 'now'
+    // (running slice is credited with the part already executed)
+    public double outstandingWork(double now) {
+        double work = SR + heldWork;
+        if (running != null) {
+            double runFor = Math.min(running.tqPlanned, running.remService);
+            double done = runFor - (nextInternalEvent - now);
+            work += running.remService - Math.max(0.0, done);
+        }
+        return work;
+    }
+
     private void tryStartCpuIfIdle(double now) {
         if (running != null) return;
 
@@ -178,6 +200,7 @@ public class PrManager {
                 Job j = holdQ1.peek();
                 if (kernel.canAllocate(j.reqMemory, j.reqDevices)) {
                     holdQ1.poll();
+                    heldWork -= j.serviceTime;
                     kernel.allocateMemory(j.reqMemory);
                     kernel.reserveDevice(j.reqDevices);
                     Process p = new Process(j);
@@ -191,6 +214,7 @@ public class PrManager {
                 Job j = holdQ2.peekFirst();
                 if (kernel.canAllocate(j.reqMemory, j.reqDevices)) {
                     holdQ2.pollFirst();
+                    heldWork -= j.serviceTime;
                     kernel.allocateMemory(j.reqMemory);
                     kernel.reserveDevice(j.reqDevices);
                     Process p = new Process(j);
@@ -0,0 +1,17 @@
+import java.util.List;
+
+public class RoundRobinPlacement implements PlacementPolicy {
+    private int next = 0;
+
+    @Override
+    public int chooseNode(double now, Job j, List<ClusterNode> nodes) {
+        int idx = next % nodes.size();
+        next = idx + 1;
+        return idx;
+    }
+
+    @Override
+    public boolean readsNodeState() {
+        return false;
+    }
+}
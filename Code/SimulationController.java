@@ -3,12 +3,20 @@ import java.util.*;
 
 public class SimulationController {
     private final PrintWriter out;
-    private final OtherKerServices kernel;
-    private final PrManager prManager;
+
+    // One node = one machine (kernel + process manager). Plain runs have one.
+    private final List<ClusterNode> nodes = new ArrayList<>();
+    private PlacementPolicy placement = new LeastLoadedPlacement();
 
     private double curTime = 0.0;
     private int teamNumber = 0;
 
+    // Last S mode (STATIC, DYNAMIC or FCFS), also given to nodes added later
+    private String cpuMode = "DYNAMIC";
+
+    // Set once a C line uses N=; until then C lines behave as on one machine
+    private boolean clusterMode = false;
+
     // ---- Event container for sorted queue ----
     private static class Event {
         double time;
@@ -38,8 +46,7 @@ public class SimulationController {
 
     public SimulationController(BufferedReader in, PrintWriter out) {
         this.out = out;
-        this.kernel = new OtherKerServices();
-        this.prManager = new PrManager(kernel);
+        this.nodes.add(new ClusterNode(0));
         loadExternalEvents(in);
     }
 
@@ -64,36 +71,35 @@ public class SimulationController {
         } catch (Exception ignored) {}
     }
 
+    // Nodes only interact through external lines, so a node is stepped only
+    // at the lines that concern it: every line except an arrival routed to
+    // another node without reading node state (RR). Stepping a node to a line's
+    // time runs its internal events before that time, plus at most one landing
+    // exactly on it, as the single machine loop does. So under RR each node
+    // behaves exactly like a single machine fed only its own lines.
     public void run() {
-        while (!eventQueue.isEmpty() || prManager.hasRunnableOrQueuedWork()) {
-
-            double e = prManager.getNextDecisionTime(curTime); // next internal
-            double i = eventQueue.isEmpty() ? Double.POSITIVE_INFINITY : eventQueue.peek().time;
+        while (!eventQueue.isEmpty()) {
+            Event ev = eventQueue.peek();
+            curTime = ev.time;
 
-            double next = Math.min(e, i);
-            if (Double.isInfinite(next)) break;
-
-            if (Math.abs(e - i) < 1e-9) {
-                curTime = e;
-                prManager.cpuTimeAdvanceTo(curTime);
-                prManager.dispatch(curTime);
-                handleOneExternal();
-            }
-            else if (e < i) {
-                curTime = e;
-                prManager.cpuTimeAdvanceTo(curTime);
-                prManager.dispatch(curTime);
-            }
-            else {
-                curTime = i;
-                handleOneExternal();
+            boolean routed = isRoutedArrival(ev);
+            if (!routed) {
+                for (ClusterNode n : nodes) n.advanceTo(ev.time);
             }
+            handleOneExternal(routed);
         }
 
+        // No more input, let every node finish what it has
+        for (ClusterNode n : nodes) n.advanceTo(Double.POSITIVE_INFINITY);
+
         out.flush();
     }
 
-    private void handleOneExternal() {
+    private boolean isRoutedArrival(Event ev) {
+        return ev.type == 'A' && clusterMode && !placement.readsNodeState();
+    }
+
+    private void handleOneExternal(boolean routed) {
         if (eventQueue.isEmpty()) return;
 
         Event ev = eventQueue.poll();
@@ -107,9 +113,14 @@ public class SimulationController {
                     break;
 
                 case 'A':
-                    prManager.procArrivalRoutine(curTime, parseArrival(line));
-                    prManager.cpuTimeAdvanceTo(curTime);
-                    prManager.tryStartCpuIfIdlePublic(curTime);
+                    Job j = parseArrival(line);
+                    ClusterNode node = nodes.get(placement.chooseNode(curTime, j, nodes));
+                    if (routed) node.advanceTo(curTime);
+
+                    PrManager pm = node.prManager;
+                    pm.procArrivalRoutine(curTime, j);
+                    pm.cpuTimeAdvanceTo(curTime);
+                    pm.tryStartCpuIfIdlePublic(curTime);
                     break;
 
                 case 'D':
@@ -131,18 +142,75 @@ public class SimulationController {
 
         if (curTime < startTime) curTime = startTime;
 
-        int mem = kernel.getTotalMemory();
-        int dev = kernel.getTotalDevices();
+        int mem = nodes.get(0).kernel.getTotalMemory();
+        int dev = nodes.get(0).kernel.getTotalDevices();
+        int count = nodes.size();
+        boolean hasCount = false;
 
         for (int k = 2; k < toks.length; k++) {
             String part = toks[k];
             if (part.startsWith("M=")) mem = Integer.parseInt(part.substring(2));
             else if (part.startsWith("S=")) dev = Integer.parseInt(part.substring(2));
+            else if (part.startsWith("N=")) {
+                count = Integer.parseInt(part.substring(2));
+                hasCount = true;
+            }
             else if (part.startsWith("TEAM=")) teamNumber = Integer.parseInt(part.substring(5));
+            else if (part.startsWith("PLACE=")) placement = parsePlacement(part.substring(6), line);
+        }
+
+        // Nodes are only ever added, dropping one would lose its queued jobs
+        if (hasCount && count < 1) {
+            out.println(">> Invalid node count in: " + line);
+            hasCount = false;
+        } else if (hasCount && count < nodes.size()) {
+            out.println(">> Node count cannot shrink below " + nodes.size() + " in: " + line);
+            hasCount = false;
+        }
+        if (hasCount) clusterMode = true;
+        else count = nodes.size();
+
+        // Single machine: a C line resets the machine and the scheduler mode
+        if (!clusterMode) {
+            ClusterNode n = nodes.get(0);
+            n.kernel.configure(mem, dev);
+            n.prManager.setSchedulers(new DynamicRRScheduler(), new StaticRRScheduler(10 + teamNumber), new FCFSScheduler());
+            n.configured = true;
+            cpuMode = "DYNAMIC";
+            return;
         }
 
-        kernel.configure(mem, dev);
-        prManager.setSchedulers(new DynamicRRScheduler(), new StaticRRScheduler(10 + teamNumber), new FCFSScheduler());
+        while (nodes.size() < count) nodes.add(new ClusterNode(nodes.size()));
+
+        // New nodes start fresh. Nodes already configured keep the memory and
+        // devices their jobs hold; only the totals (M=, S=) change. Every node
+        // runs the cluster-wide scheduler mode, with the quantum from TEAM=.
+        for (ClusterNode n : nodes) {
+            if (!n.configured) n.kernel.configure(mem, dev);
+            else n.kernel.resize(mem, dev);
+
+            n.prManager.setSchedulers(new DynamicRRScheduler(), new StaticRRScheduler(10 + teamNumber), new FCFSScheduler());
+            applyCpuMode(n.prManager, cpuMode);
+
+            if (n.configured) n.prManager.resourcesChanged(curTime);
+            n.configured = true;
+        }
+    }
+
+    // Same policy as before keeps its instance (RR keeps its rotation)
+    private PlacementPolicy parsePlacement(String name, String line) {
+        String mode = name.toUpperCase(Locale.ROOT);
+
+        if (mode.equals("LEAST")) {
+            return (placement instanceof LeastLoadedPlacement) ? placement : new LeastLoadedPlacement();
+        } else if (mode.equals("BESTFIT")) {
+            return (placement instanceof BestFitPlacement) ? placement : new BestFitPlacement();
+        } else if (mode.equals("RR")) {
+            return (placement instanceof RoundRobinPlacement) ? placement : new RoundRobinPlacement();
+        }
+
+        out.println(">> Unknown placement policy in: " + line);
+        return placement;
     }
 
     private Job parseArrival(String line) {
@@ -165,8 +233,16 @@ public class SimulationController {
 
     // ---------------- DISPLAY  ----------------
     private void printDisplay() {
+        for (ClusterNode n : nodes) printNodeStatus(n);
+    }
+
+    private void printNodeStatus(ClusterNode node) {
+        OtherKerServices kernel = node.kernel;
+        PrManager prManager = node.prManager;
+
         out.println("\n\n-------------------------------------------------------");
-        out.println("System Status:                                         ");
+        if (nodes.size() == 1) out.println("System Status:                                         ");
+        else out.printf("%-55s%n", "System Status (Node " + (node.index + 1) + " of " + nodes.size() + "):");
         out.println("-------------------------------------------------------");
         out.printf("          Time: %.2f%n", curTime);
         out.printf("  Total Memory: %d%n", kernel.getTotalMemory());
@@ -237,6 +313,7 @@ public class SimulationController {
         // S <time> FCFS for FCFS xD
         // The config call can be:
         // C= <Number> M= <Number> S= <Number> OPTIONAL:)==> TEAM= <Number>
+        // Cluster mode: add N= <nodes> and PLACE= LEAST | BESTFIT | RR (default LEAST)
         // This is for you Abdulrahman, so you can know :)
 
 
@@ -248,18 +325,28 @@ public class SimulationController {
 
         String mode = toks[2].toUpperCase(Locale.ROOT);
 
+        // Applies to every node
         if (mode.startsWith("STAT")) {
-            prManager.setCpuToStaticRR();
+            cpuMode = "STATIC";
             out.println(">> Scheduler switched to STATIC RR at t=" + String.format(Locale.US, "%.2f", curTime));
         } else if (mode.startsWith("DYN")) {
-            prManager.setCpuToDynamicRR();
+            cpuMode = "DYNAMIC";
             out.println(">> Scheduler switched to DYNAMIC RR at t=" + String.format(Locale.US, "%.2f", curTime));
         } else if (mode.startsWith("FCFS")) {
-            prManager.setCpuToFCFS();
+            cpuMode = "FCFS";
             out.println(">> Scheduler switched to FCFS at t=" + String.format(Locale.US, "%.2f", curTime));
         } else {
             out.println(">> Unknown scheduler mode in: " + line);
+            return;
         }
+
+        for (ClusterNode n : nodes) applyCpuMode(n.prManager, cpuMode);
+    }
+
+    private static void applyCpuMode(PrManager pm, String mode) {
+        if (mode.equals("STATIC")) pm.setCpuToStaticRR();
+        else if (mode.equals("FCFS")) pm.setCpuToFCFS();
+        else pm.setCpuToDynamicRR();
     }
 
 }
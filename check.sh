@@ -0,0 +1,102 @@
+#!/bin/sh
+# Regression check: sample inputs against their expected outputs, and
+# random RR cluster inputs against single-machine runs of each node's share.
+# Usage: ./check.sh [random-runs]   (default 12)
+#        ./check.sh gen <seed>        print the random input for a seed
+set -e
+cd "$(dirname "$0")"
+
+NODES=4
+
+gen_random() { # <seed>
+    awk -v seed="$1" -v nodes="$NODES" 'BEGIN {
+        srand(seed + 1)
+        split("STATIC FCFS DYNAMIC", mode, " ")
+        printf "C 1 M=200 S=4 N=%d PLACE=RR\n", nodes
+        t = 2
+        for (j = 1; j <= 2000; j++) {
+            t += int(rand() * 3)
+            printf "A %d J=%d M=%d S=%d R=%d P=%d\n", t, j,
+                5 + int(rand() * 146), int(rand() * 3), int(rand() * 31), 1 + int(rand() * 2)
+            r = rand()
+            if (r < 0.005) printf "D %d\n", t
+            else if (r < 0.01) printf "S %d %s\n", t, mode[1 + int(rand() * 3)]
+        }
+        print "D 99999999"
+    }'
+}
+
+if [ "$1" = gen ]; then
+    gen_random "$2"
+    exit 0
+fi
+
+RUNS=${1:-12}
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+javac -encoding UTF-8 -d "$WORK/classes" Code/*.java
+
+run() { # <input> <output>
+    java -cp "$WORK/classes" Main "$1" "$2"
+}
+
+# Finished-job rows of the final display, for one node (0 = single machine)
+finished() { # <output> <node>
+    awk -v want="$2" '
+        /System Status/ {
+            n = 0
+            if (match($0, /Node [0-9]+ of/)) n = substr($0, RSTART + 5, RLENGTH - 8) + 0
+        }
+        /Time: 99999999.00/ { fin = 1 }
+        /WaitedTime/ { take = fin && n == want; next }
+        /^Total Finished/ { take = 0 }
+        take && /^  [0-9]/ { print }
+    ' "$1"
+}
+
+fail=0
+
+for sample in input:output reconfig_input:reconfig_output cluster_input:cluster_output; do
+    in=${sample%%:*}.txt
+    exp=${sample##*:}.txt
+    run "$in" "$WORK/got.txt"
+    if diff --strip-trailing-cr -q "$exp" "$WORK/got.txt" >/dev/null; then
+        echo "ok   $in"
+    else
+        echo "FAIL $in differs from $exp"
+        fail=1
+    fi
+done
+
+# Under RR a node only sees its own arrivals plus the C, S and D lines, so
+# it must finish exactly like a single machine fed just those lines.
+i=0
+while [ "$i" -lt "$RUNS" ]; do
+    gen_random "$i" > "$WORK/rand.txt"
+    run "$WORK/rand.txt" "$WORK/cluster.txt"
+
+    k=0
+    while [ "$k" -lt "$NODES" ]; do
+        awk -v k="$k" -v nodes="$NODES" '
+            /^C/ { sub(/ N=[0-9]+ PLACE=RR/, ""); print; next }
+            /^A/ { if (a++ % nodes == k) print; next }
+            { print }
+        ' "$WORK/rand.txt" > "$WORK/part.txt"
+        run "$WORK/part.txt" "$WORK/single.txt"
+
+        finished "$WORK/cluster.txt" $((k + 1)) > "$WORK/a.txt"
+        finished "$WORK/single.txt" 0 > "$WORK/b.txt"
+        if [ ! -s "$WORK/a.txt" ] || ! cmp -s "$WORK/a.txt" "$WORK/b.txt"; then
+            echo "FAIL random input seed=$i: node $((k + 1)) differs from a single machine"
+            echo "     regenerate it with: ./check.sh gen $i > <file>"
+            fail=1
+        fi
+        k=$((k + 1))
+    done
+    i=$((i + 1))
+done
+echo "ran $RUNS random RR inputs, $NODES nodes each checked against a single machine"
+
+[ "$fail" -eq 0 ] && echo "all checks passed"
+exit "$fail"